@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Mide tiempo de arranque y latencia de la primera peticion.
+# Uso: ./mvnw -Pfast-startup package && scripts/startup-report.sh [baseline|fast] [--readme]
+# Con --readme actualiza la fila del modo en la tabla "Resultados medidos" del README.
+# Requiere la BD configurada en application.properties (o variables SPRING_DATASOURCE_*).
+# El modo fast usa el perfil prod, que no migra: aplicar antes las migraciones (perfil migrate).
+set -euo pipefail
+
+MODE="${1:-fast}"
+UPDATE_README="${2:-}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/items/page?page=0&size=3"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="${ROOT}/target"
+REPORT="${TARGET}/startup-report-${MODE}.txt"
+
+case "$MODE" in
+  baseline)
+    JAR="$(ls "${TARGET}"/*-SNAPSHOT.jar | head -1)"
+    CMD=(java -jar "$JAR" --server.port="$PORT")
+    ;;
+  fast)
+    JAR="$(ls "${TARGET}"/application/*-SNAPSHOT.jar | head -1)"
+    # -Xshare:on: falla si el archivo CDS no corresponde (asi no se mide sin CDS por error)
+    CMD=(java -Xshare:on -XX:SharedArchiveFile="${TARGET}/application/application.jsa" -Dspring.aot.enabled=true
+         -Dspring.profiles.active=prod -jar "$JAR" --server.port="$PORT")
+    ;;
+  *)
+    echo "modo desconocido: $MODE (baseline|fast)" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() { date +%s%3N; }
+
+START=$(now_ms)
+"${CMD[@]}" > "${TARGET}/startup-${MODE}.log" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+# espera al primer 200
+until curl -s -o /dev/null -w '%{http_code}' "$URL" 2>/dev/null | grep -q 200; do
+  if ! kill -0 "$PID" 2>/dev/null; then
+    echo "la aplicacion termino, ver ${TARGET}/startup-${MODE}.log" >&2
+    exit 1
+  fi
+  sleep 0.05
+done
+READY=$(now_ms)
+
+# latencia de peticiones ya con la aplicacion lista
+FIRST=$(curl -s -o /dev/null -w '%{time_total}' "$URL")
+SECOND=$(curl -s -o /dev/null -w '%{time_total}' "$URL")
+STARTED_LINE=$(grep -m1 'Started ProyectApplication' "${TARGET}/startup-${MODE}.log" || true)
+
+{
+  echo "modo:                     $MODE"
+  echo "jvm:                      $(java -version 2>&1 | head -1)"
+  echo "arranque hasta primer 200: $((READY - START)) ms"
+  echo "primera peticion:          ${FIRST} s"
+  echo "segunda peticion:          ${SECOND} s"
+  echo "spring:                    ${STARTED_LINE##*: }"
+} | tee "$REPORT"
+
+if [ "$UPDATE_README" = "--readme" ]; then
+  JVM="$(java -version 2>&1 | head -1 | tr -d '|')"
+  ROW="| ${MODE} | $((READY - START)) ms | ${FIRST} s | ${SECOND} s | ${JVM} | $(date +%F) |"
+  awk -v mode="| ${MODE} |" -v row="$ROW" '
+    /<!-- startup-report:begin -->/ { inside = 1 }
+    /<!-- startup-report:end -->/   { inside = 0 }
+    inside && index($0, mode) == 1  { print row; next }
+    { print }
+  ' "${ROOT}/README.md" > "${TARGET}/README.md.tmp" && mv "${TARGET}/README.md.tmp" "${ROOT}/README.md"
+  echo "README actualizado (modo ${MODE})."
+fi
@@ -0,0 +1,88 @@
+package corporation.proyect.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que mide cuanto tiempo se retiene cada conexion (getConnection -> close)
+ * y lo publica como timer {@code db.connection.hold} etiquetado por endpoint.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    private static final String METRIC = "db.connection.hold";
+    private static final String NO_REQUEST = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection target) {
+        long start = System.nanoTime();
+        String uri = currentUri();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        record(uri, System.nanoTime() - start);
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private void record(String uri, long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        timers.computeIfAbsent(uri, key -> Timer.builder(METRIC)
+                        .description("Tiempo que una peticion retiene una conexion JDBC")
+                        .tag("uri", key)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // patron del endpoint (/items/{id}), no la URL real, para acotar la cardinalidad
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_REQUEST;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+}
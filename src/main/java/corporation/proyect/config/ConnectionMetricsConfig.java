@@ -0,0 +1,27 @@
+package corporation.proyect.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ConnectionMetricsConfig {
+
+    // Envuelve el DataSource (Hikari) para medir la retencion de conexiones por endpoint
+    @Bean
+    static BeanPostProcessor connectionHoldTimePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource(dataSource, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,20 +1,37 @@
 package corporation.proyect.controller;
 
+import corporation.proyect.dto.ItemAsyncStatusDTO;
+import corporation.proyect.dto.ItemDetailNormalizedDTO;
 import corporation.proyect.dto.ItemRequestDTO;
 import corporation.proyect.dto.ItemResponseDTO;
 import corporation.proyect.pagination.PageResponseDTO;
 import corporation.proyect.response.ResponseDTO;
+import corporation.proyect.service.IChangeFeedService;
+import corporation.proyect.service.IItemAsyncService;
+import corporation.proyect.service.IItemDetailService;
 import corporation.proyect.service.IItemService;
+import corporation.proyect.service.IResponseCacheService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Tag(name = "Items", description = "API para gestionar Items")
 @RestController
@@ -23,21 +40,51 @@ import java.util.List;
 public class ItemController {
 
     private final IItemService itemService;
+    private final IItemAsyncService itemAsyncService;
+    private final IChangeFeedService changeFeedService;
+    private final IResponseCacheService responseCacheService;
+    private final IItemDetailService itemDetailService;
 
     @Operation(summary = "Listar todos los items")
-    @GetMapping("/all")
-    public ResponseEntity<List<ItemResponseDTO>> getAllItems() {
-        return ResponseEntity.ok(itemService.getAllItems());
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ItemResponseDTO.class))))
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return responseCacheService.respond("all", true, acceptEncoding, itemService::getAllItems);
     }
 
     @Operation(summary = "Listar items con paginación")
-    @GetMapping("/page")
-    public ResponseEntity<PageResponseDTO<ItemResponseDTO>> pageItems(
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = PageResponseDTO.class)))
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> pageItems(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "3") Integer size
+            @RequestParam(defaultValue = "3") Integer size,
+            @RequestParam(defaultValue = "false") boolean exactCount,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(itemService.getAllItemsPageable(pageable));
+        boolean cacheable = !exactCount && responseCacheService.isCacheablePage(page, size);
+        return responseCacheService.respond("page:" + page + ":" + size, cacheable, acceptEncoding,
+                () -> itemService.getAllItemsPageable(pageable, exactCount));
+    }
+
+    @Operation(summary = "Listar items creados en un rango de fechas")
+    @GetMapping("/range")
+    public ResponseEntity<List<ItemResponseDTO>> itemsByCreatedRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size
+    ) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("created"));
+        return ResponseEntity.ok(itemService.getItemsCreatedBetween(from, to, pageable));
+    }
+
+    @Operation(summary = "Feed SSE de cambios de items y detalles")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeedService.subscribe(lastEventId);
     }
 
     @Operation(summary = "Obtener un item por ID")
@@ -46,6 +93,12 @@ public class ItemController {
         return ResponseEntity.ok(itemService.getItemById(id));
     }
 
+    @Operation(summary = "Listar los detalles de un item (item incluido una sola vez)")
+    @GetMapping("/{id}/details")
+    public ResponseEntity<ItemDetailNormalizedDTO> getItemDetails(@PathVariable Integer id) {
+        return ResponseEntity.ok(itemDetailService.listarItemDetailPorItem(id));
+    }
+
     @Operation(summary = "Crear un nuevo item")
     @PostMapping
     public ResponseEntity<ItemResponseDTO> createItem(@Valid @RequestBody ItemRequestDTO itemRequestDTO) {
@@ -58,6 +111,18 @@ public class ItemController {
         return ResponseEntity.status(201).body(itemService.createItemResponse(itemRequestDTO));
     }
 
+    @Operation(summary = "Encolar la creacion de un item (write-behind)")
+    @PostMapping("/async")
+    public ResponseEntity<ItemAsyncStatusDTO> createItemAsync(@Valid @RequestBody ItemRequestDTO itemRequestDTO) {
+        return ResponseEntity.status(202).body(itemAsyncService.enqueueItem(itemRequestDTO));
+    }
+
+    @Operation(summary = "Estado de una creacion encolada")
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<ItemAsyncStatusDTO> getItemAsyncStatus(@PathVariable UUID trackingId) {
+        return ResponseEntity.ok(itemAsyncService.getStatus(trackingId));
+    }
+
     @Operation(summary = "Actualizar un item existente")
     @PutMapping("/{id}")
     public ResponseEntity<ItemResponseDTO> updateItem(@Valid  @RequestBody ItemRequestDTO itemRequestDTO,@PathVariable Integer id) {
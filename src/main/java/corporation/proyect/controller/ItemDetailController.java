@@ -1,6 +1,7 @@
 package corporation.proyect.controller;
 
 
+import corporation.proyect.dto.ItemDetailNormalizedDTO;
 import corporation.proyect.dto.ItemDetailRequestDTO;
 import corporation.proyect.dto.ItemDetailResponseDTO;
 import corporation.proyect.service.IItemDetailService;
@@ -22,6 +23,10 @@ public class ItemDetailController {
     public ResponseEntity<List<ItemDetailResponseDTO>> findAll() {
         return ResponseEntity.ok(itemDetailService.listarItemDetail());
     }
+    @GetMapping(params = "normalized=true")
+    public ResponseEntity<ItemDetailNormalizedDTO> findAllNormalized() {
+        return ResponseEntity.ok(itemDetailService.listarItemDetailNormalizado());
+    }
     @GetMapping("/{id}")
     public ResponseEntity<ItemDetailResponseDTO> findById(@PathVariable Integer id) {
         return ResponseEntity.ok(itemDetailService.buscarxid(id));
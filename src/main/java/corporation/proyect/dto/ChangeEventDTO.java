@@ -0,0 +1,19 @@
+package corporation.proyect.dto;
+
+import corporation.proyect.enums.ChangeType;
+
+public record ChangeEventDTO(
+        Long sequence,
+        String entity,
+        ChangeType type,
+        Integer id,
+        Object data
+) {
+    public static final String ITEM = "item";
+    public static final String DETAIL = "detail";
+
+    // Evento aun sin numero de secuencia (lo asigna el feed)
+    public ChangeEventDTO(String entity, ChangeType type, Integer id, Object data) {
+        this(null, entity, type, id, data);
+    }
+}
@@ -0,0 +1,12 @@
+package corporation.proyect.dto;
+
+import corporation.proyect.enums.AsyncStatus;
+
+import java.util.UUID;
+
+public record ItemAsyncStatusDTO(
+        UUID trackingId,
+        AsyncStatus status,
+        ItemResponseDTO item
+) {
+}
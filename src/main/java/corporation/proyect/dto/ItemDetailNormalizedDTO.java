@@ -0,0 +1,11 @@
+package corporation.proyect.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Detalles con solo itemId + cada Item padre una sola vez (por id)
+public record ItemDetailNormalizedDTO(
+        List<ItemDetailRefDTO> details,
+        Map<Integer, ItemResponseDTO> items
+) {
+}
@@ -0,0 +1,9 @@
+package corporation.proyect.dto;
+
+public record ItemDetailRefDTO(
+        Integer id,
+        String description,
+        Integer quantity,
+        Integer itemId
+) {
+}
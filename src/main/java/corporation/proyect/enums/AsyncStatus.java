@@ -0,0 +1,8 @@
+package corporation.proyect.enums;
+
+// Estados de una creacion encolada en modo write-behind
+public enum AsyncStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package corporation.proyect.enums;
+
+// Tipos de cambio publicados en el feed /items/changes
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
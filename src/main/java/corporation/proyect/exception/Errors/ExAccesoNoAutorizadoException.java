@@ -1,6 +1,6 @@
 package corporation.proyect.exception.Errors;
 
-public class ExAccesoNoAutorizadoException extends RuntimeException {
+public class ExAccesoNoAutorizadoException extends ExDomainException {
     // 401 Unauthorized 403 Forbidden
     public ExAccesoNoAutorizadoException(String message) {
         super(message);
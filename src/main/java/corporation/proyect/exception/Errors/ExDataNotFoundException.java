@@ -1,6 +1,6 @@
 package corporation.proyect.exception.Errors;
 
-public class ExDataNotFoundException extends RuntimeException {
+public class ExDataNotFoundException extends ExDomainException {
     public ExDataNotFoundException(String message) {
         super(message);
     }
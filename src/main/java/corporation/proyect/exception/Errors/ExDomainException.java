@@ -0,0 +1,9 @@
+package corporation.proyect.exception.Errors;
+
+// Base de las excepciones de dominio: sin stack trace ni suppressed,
+// se lanzan en el flujo normal (404, 400) y solo se usa su mensaje.
+public abstract class ExDomainException extends RuntimeException {
+    protected ExDomainException(String message) {
+        super(message, null, false, false);
+    }
+}
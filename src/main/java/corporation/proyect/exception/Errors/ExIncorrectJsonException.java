@@ -1,6 +1,6 @@
 package corporation.proyect.exception.Errors;
 
-public class ExIncorrectJsonException extends RuntimeException {
+public class ExIncorrectJsonException extends ExDomainException {
     public ExIncorrectJsonException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package corporation.proyect.exception.Errors;
 
-public class ExInvalidDataException extends RuntimeException {
+public class ExInvalidDataException extends ExDomainException {
     //400 Bad Request
     public ExInvalidDataException(String message) {
         super(message);
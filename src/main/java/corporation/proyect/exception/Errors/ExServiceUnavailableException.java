@@ -0,0 +1,8 @@
+package corporation.proyect.exception.Errors;
+
+public class ExServiceUnavailableException extends ExDomainException {
+    //503 Service Unavailable
+    public ExServiceUnavailableException(String message) {
+        super(message);
+    }
+}
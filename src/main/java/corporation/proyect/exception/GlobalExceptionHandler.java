@@ -1,25 +1,19 @@
 package corporation.proyect.exception;
 
 import corporation.proyect.exception.Errors.*;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.web.bind.MethodArgumentNotValidException;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.RestControllerAdvice;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -29,68 +23,101 @@ public class GlobalExceptionHandler {
     private static final String CODE = "code";
     private static final String ERRORS = "errors";
 
+    private static final String VALIDATION_ERROR = "Validation error";
+    private static final String INVALID_VALUE = "Invalid value";
+
+    // Cuerpos inmutables precalculados para errores de mensaje fijo
+    private static final Map<String, Object> INVALID_JSON_BODY = body("Invalid JSON format", HttpStatus.BAD_REQUEST);
+    private static final Map<String, Object> INTERNAL_ERROR_BODY = body("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+
+    // true: respuestas RFC 7807 (application/problem+json)
+    @Value("${errors.problem-details.enabled:false}")
+    private boolean problemDetails;
+
     // ---- Manejo de excepciones personalizadas ----
     @ExceptionHandler(ExAccesoNoAutorizadoException.class)
-    public ResponseEntity<Map<String, Object>> handleAccesoNoAutorizado(ExAccesoNoAutorizadoException ex) {
+    public ResponseEntity<Object> handleAccesoNoAutorizado(ExAccesoNoAutorizadoException ex) {
         HttpStatus status = ex.getMessage().contains("Forbidden") ? HttpStatus.FORBIDDEN : HttpStatus.UNAUTHORIZED;
         return buildResponse(ex.getMessage(), status);
     }
 
     @ExceptionHandler(ExDataNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleDataNotFound(ExDataNotFoundException ex) {
+    public ResponseEntity<Object> handleDataNotFound(ExDataNotFoundException ex) {
         return buildResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(ExInvalidDataException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidData(ExInvalidDataException ex) {
+    public ResponseEntity<Object> handleInvalidData(ExInvalidDataException ex) {
         return buildResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ExIncorrectJsonException.class)
-    public ResponseEntity<Map<String, Object>> handleIncorrectJson(ExIncorrectJsonException ex) {
+    public ResponseEntity<Object> handleIncorrectJson(ExIncorrectJsonException ex) {
         return buildResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ExDatabaseErrorException.class)
-    public ResponseEntity<Map<String, Object>> handleDatabaseError(ExDatabaseErrorException ex) {
+    public ResponseEntity<Object> handleDatabaseError(ExDatabaseErrorException ex) {
         return buildResponse("Database error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ExServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailable(ExServiceUnavailableException ex) {
+        return buildResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // ---- Manejo de excepciones de Spring ----
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Map<String, Object>> handleMalformedJson(HttpMessageNotReadableException ex) {
-        return buildResponse("Invalid JSON format", HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleMalformedJson(HttpMessageNotReadableException ex) {
+        return buildResponse(INVALID_JSON_BODY, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .collect(Collectors.toMap(
-                        fieldError -> fieldError.getField(),
-                        fieldError -> fieldError.getDefaultMessage() != null ?
-                                fieldError.getDefaultMessage() : "Invalid value"
-                ));
-
-        Map<String, Object> response = new HashMap<>();
-        response.put(MESSAGE, "Validation error");
-        response.put(CODE, HttpStatus.BAD_REQUEST.value());
-        response.put(ERRORS, errors);
-        return ResponseEntity.badRequest().body(response);
+    public ResponseEntity<Object> handleValidationErrors(MethodArgumentNotValidException ex) {
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> errors = HashMap.newHashMap(fieldErrors.size());
+        for (FieldError fieldError : fieldErrors) {
+            // primer mensaje por campo (toMap fallaba con campos repetidos)
+            errors.putIfAbsent(fieldError.getField(),
+                    fieldError.getDefaultMessage() != null ? fieldError.getDefaultMessage() : INVALID_VALUE);
+        }
+
+        if (problemDetails) {
+            ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, VALIDATION_ERROR);
+            problem.setProperty(ERRORS, errors);
+            return ResponseEntity.badRequest().body(problem);
+        }
+        return ResponseEntity.badRequest().body(Map.of(
+                MESSAGE, VALIDATION_ERROR,
+                CODE, HttpStatus.BAD_REQUEST.value(),
+                ERRORS, errors));
     }
 
     // ---- Último recurso (Error genérico) ----
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        return buildResponse("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<Object> handleGenericException(Exception ex) {
+        return buildResponse(INTERNAL_ERROR_BODY, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     // Metodo helper para respuestas consistentes
-    private ResponseEntity<Map<String, Object>> buildResponse(String message, HttpStatus status) {
-        Map<String, Object> response = new HashMap<>();
-        response.put(MESSAGE, message);
-        response.put(CODE, status.value());
-        return ResponseEntity.status(status).body(response);
+    private ResponseEntity<Object> buildResponse(String message, HttpStatus status) {
+        if (problemDetails) {
+            return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, message));
+        }
+        return ResponseEntity.status(status).body(body(message, status));
+    }
+
+    // Respuesta con cuerpo precalculado
+    private ResponseEntity<Object> buildResponse(Map<String, Object> body, HttpStatus status) {
+        if (problemDetails) {
+            return ResponseEntity.status(status).body(ProblemDetail.forStatusAndDetail(status, (String) body.get(MESSAGE)));
+        }
+        return ResponseEntity.status(status).body(body);
+    }
+
+    private static Map<String, Object> body(String message, HttpStatus status) {
+        return Map.of(
+                MESSAGE, message != null ? message : status.getReasonPhrase(),
+                CODE, status.value());
     }
 }
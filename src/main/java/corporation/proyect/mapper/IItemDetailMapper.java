@@ -1,5 +1,6 @@
 package corporation.proyect.mapper;
 
+import corporation.proyect.dto.ItemDetailRefDTO;
 import corporation.proyect.dto.ItemDetailRequestDTO;
 import corporation.proyect.dto.ItemDetailResponseDTO;
 import corporation.proyect.entity.ItemDetail;
@@ -18,6 +19,10 @@ public interface IItemDetailMapper {
     @Mapping(target = "responseDTO", source = "item")
     ItemDetailResponseDTO toItemDetailResponseDTO(ItemDetail itemDetail);
 
+    // response normalizada (solo id del item)
+    @Mapping(target = "itemId", source = "item.id")
+    ItemDetailRefDTO toItemDetailRefDTO(ItemDetail itemDetail);
+
     ItemDetail toItemDetail(ItemDetail itemDetail);
 
 }
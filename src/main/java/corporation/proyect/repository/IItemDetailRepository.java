@@ -1,9 +1,42 @@
 package corporation.proyect.repository;
 
 import corporation.proyect.entity.ItemDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface IItemDetailRepository extends JpaRepository<ItemDetail,Integer> {
+
+    // detalles + item padre en una sola consulta (evita N+1 del ManyToOne)
+    @Query("select d from ItemDetail d join fetch d.item")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ItemDetail> findAllWithItem();
+
+    @Query("select d from ItemDetail d join fetch d.item where d.item.id = :itemId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ItemDetail> findByItemIdWithItem(@Param("itemId") Integer itemId);
+
+    // sin FK en BD (items particionada): se valida antes de borrar un item
+    boolean existsByItemId(Integer itemId);
+
+    // ---- archivado: solo detalles de items ya copiados a items_archive ----
+    @Modifying
+    @Query(value = "insert into item_details_archive (detail_id, detail_description, detail_quantity, item_id, archived_at) " +
+            "select detail_id, detail_description, detail_quantity, item_id, :archivedAt from item_details " +
+            "where item_id in (select item_id from items_archive where item_id in (:itemIds))", nativeQuery = true)
+    int copyToArchiveByItemIds(@Param("itemIds") List<Integer> itemIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "delete from item_details " +
+            "where item_id in (select item_id from items_archive where item_id in (:itemIds))", nativeQuery = true)
+    int deleteArchivedByItemIds(@Param("itemIds") List<Integer> itemIds);
 }
@@ -1,9 +1,75 @@
 package corporation.proyect.repository;
 
 import corporation.proyect.entity.Item;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Con items particionada por item_created (V2), las busquedas solo por item_id
+ * (findById, save de un item existente, deleteById, findByIdForUpdate/ForShare) y por
+ * item_uuid (findByUuid) no pueden podar particiones: consultan el indice de cada una.
+ * El numero de particiones se mantiene acotado con items.partitioning.retention-months.
+ */
 @Repository
 public interface IItemRepository extends JpaRepository<Item, Integer> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Item> findByUuid(UUID uuid);
+
+    // Bloqueos sobre el item padre: item_details ya no tiene FK (tabla particionada)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findByIdForShare(@Param("id") Integer id);
+
+    // Pagina sin consulta de conteo (lee size + 1 filas)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Item> findAllBy(Pageable pageable);
+
+    // Acotado por item_created: MySQL solo lee las particiones del rango
+    @Query("select i from Item i where i.created >= :from and i.created < :to")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<Item> findCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // ---- archivado (tablas items_archive / item_details_archive, perfil prod) ----
+    @Query("select i.id from Item i where i.active = false and i.created < :cutoff order by i.created")
+    List<Integer> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // bloquea los candidatos (re-validados) antes de copiarlos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids and i.active = false and i.created < :cutoff")
+    List<Item> lockArchivable(@Param("ids") List<Integer> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "insert into items_archive (item_id, item_name, item_quantity, item_active, item_created, item_uuid, archived_at) " +
+            "select item_id, item_name, item_quantity, item_active, item_created, item_uuid, :archivedAt from items " +
+            "where item_id in (:ids) and item_active = false and item_created < :cutoff", nativeQuery = true)
+    int copyToArchive(@Param("ids") List<Integer> ids, @Param("cutoff") LocalDateTime cutoff,
+                      @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query(value = "select item_id from items_archive where item_id in (:ids)", nativeQuery = true)
+    List<Integer> findArchivedIds(@Param("ids") List<Integer> ids);
+
+    @Modifying
+    @Query(value = "delete from items where item_id in (select item_id from items_archive where item_id in (:ids)) " +
+            "and item_created < :cutoff", nativeQuery = true)
+    int deleteArchived(@Param("ids") List<Integer> ids, @Param("cutoff") LocalDateTime cutoff);
 }
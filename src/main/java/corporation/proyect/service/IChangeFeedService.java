@@ -0,0 +1,9 @@
+package corporation.proyect.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface IChangeFeedService {
+
+    // Suscribir un cliente SSE, reenviando lo ocurrido despues de lastEventId
+    SseEmitter subscribe(String lastEventId);
+}
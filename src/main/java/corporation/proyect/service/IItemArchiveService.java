@@ -0,0 +1,7 @@
+package corporation.proyect.service;
+
+public interface IItemArchiveService {
+
+    // Mover items inactivos antiguos (y sus detalles) a las tablas de archivo
+    int archiveInactiveItems();
+}
@@ -0,0 +1,15 @@
+package corporation.proyect.service;
+
+import corporation.proyect.dto.ItemAsyncStatusDTO;
+import corporation.proyect.dto.ItemRequestDTO;
+
+import java.util.UUID;
+
+public interface IItemAsyncService {
+
+    // Encolar creacion (write-behind)
+    ItemAsyncStatusDTO enqueueItem(ItemRequestDTO itemRequestDTO);
+
+    // Estado de una creacion encolada
+    ItemAsyncStatusDTO getStatus(UUID trackingId);
+}
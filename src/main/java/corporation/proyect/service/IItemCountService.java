@@ -0,0 +1,7 @@
+package corporation.proyect.service;
+
+public interface IItemCountService {
+
+    // Total de items (cacheado salvo que se pida exacto)
+    long totalItems(boolean exact);
+}
@@ -1,5 +1,6 @@
 package corporation.proyect.service;
 
+import corporation.proyect.dto.ItemDetailNormalizedDTO;
 import corporation.proyect.dto.ItemDetailRequestDTO;
 import corporation.proyect.dto.ItemDetailResponseDTO;
 import corporation.proyect.dto.ItemRequestDTO;
@@ -8,6 +9,8 @@ import java.util.List;
 
 public interface IItemDetailService {
     List<ItemDetailResponseDTO> listarItemDetail();
+    ItemDetailNormalizedDTO listarItemDetailNormalizado();
+    ItemDetailNormalizedDTO listarItemDetailPorItem(Integer itemId);
     ItemDetailResponseDTO buscarxid(Integer id);
     ItemDetailResponseDTO registrarItemDetail(ItemDetailRequestDTO itemDetailRequestDTO);
     ItemDetailResponseDTO actualizarItemDetail(ItemDetailRequestDTO itemDetailRequestDTO, Integer id);
@@ -0,0 +1,10 @@
+package corporation.proyect.service;
+
+public interface IItemPartitionService {
+
+    // Crear las particiones mensuales de items de los proximos meses
+    void ensureFuturePartitions();
+
+    // Eliminar las particiones vacias anteriores a la retencion, devuelve cuantas
+    int dropExpiredPartitions();
+}
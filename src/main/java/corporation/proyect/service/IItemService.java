@@ -6,6 +6,7 @@ import corporation.proyect.pagination.PageResponseDTO;
 import corporation.proyect.response.ResponseDTO;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface IItemService {
@@ -14,7 +15,10 @@ public interface IItemService {
     List<ItemResponseDTO> getAllItems();
 
     // List all Pageable
-    PageResponseDTO<ItemResponseDTO> getAllItemsPageable(Pageable pageable);
+    PageResponseDTO<ItemResponseDTO> getAllItemsPageable(Pageable pageable, boolean exactCount);
+
+    // List by created range (partition pruning)
+    List<ItemResponseDTO> getItemsCreatedBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
 
     // Get by ID
     ItemResponseDTO getItemById(Integer id);
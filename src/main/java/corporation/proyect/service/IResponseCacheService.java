@@ -0,0 +1,14 @@
+package corporation.proyect.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IResponseCacheService {
+
+    // Respuesta JSON ya serializada (y gzip si el cliente lo acepta) para la clave dada
+    ResponseEntity<byte[]> respond(String key, boolean cacheable, String acceptEncoding, Supplier<?> loader);
+
+    // Paginas de /items/page que se cachean
+    boolean isCacheablePage(int page, int size);
+}
@@ -0,0 +1,225 @@
+package corporation.proyect.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.service.IChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de cambios SSE respaldado por un ring buffer con numeros de secuencia
+ * (ids {@code <epoch>-<secuencia>}, ver {@link ChangeRingBuffer}).
+ * Los eventos se reciben despues del commit; un unico hilo pone al dia a cada suscriptor
+ * leyendo del ring todo lo posterior a su ultimo evento enviado (asi el orden en que se
+ * confirman dos escrituras concurrentes no importa) y lo deja, sin bloquear, en su cola
+ * acotada; cada cola se vacia en su propio hilo virtual.
+ * Un cliente lento que llena su cola se desconecta y al reconectar recupera lo perdido
+ * con Last-Event-ID (o recibe reset), sin frenar al resto.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedServiceImpl implements IChangeFeedService {
+
+    private static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${items.changes.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${items.changes.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${items.changes.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    private ChangeRingBuffer ring;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // reparto (nunca bloquea en la red)
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(r -> new Thread(r, "change-feed"));
+    // envio por suscriptor (puede bloquear en la red)
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // una sola puesta al dia pendiente cubre todos los eventos agregados hasta que corre
+    private final AtomicBoolean broadcastScheduled = new AtomicBoolean();
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // solo lo usa el hilo de reparto
+        private long lastSent;
+
+        private Subscriber(SseEmitter emitter, int capacity, long lastSent) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+            this.lastSent = lastSent;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // el epoch de arranque distingue los ids de instancias anteriores
+        ring = new ChangeRingBuffer(bufferSize, System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        broadcaster.shutdownNow();
+        subscribers.forEach(subscriber -> close(subscriber, null));
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    // Se ejecuta tras el commit (o de inmediato si no hay transaccion activa)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        if (append(event) != null && broadcastScheduled.compareAndSet(false, true)) {
+            broadcaster.execute(this::broadcast);
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        // registro y reenvio en el hilo de reparto para no perder ni duplicar eventos
+        broadcaster.execute(() -> register(emitter, lastEventId));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${items.changes.heartbeat-ms:30000}")
+    void heartbeat() {
+        broadcaster.execute(() -> subscribers.forEach(subscriber ->
+                enqueue(subscriber, SseEmitter.event().comment("ping"))));
+    }
+
+    private ChangeRingBuffer.Entry append(ChangeEventDTO event) {
+        String name = event.entity() + "." + event.type().name().toLowerCase();
+        return ring.append(name, sequence -> {
+            try {
+                return objectMapper.writeValueAsString(new ChangeEventDTO(
+                        sequence, event.entity(), event.type(), event.id(), event.data()));
+            } catch (JsonProcessingException e) {
+                log.error("No se pudo serializar el evento {} {} {}.", event.entity(), event.type(), event.id(), e);
+                return null;
+            }
+        });
+    }
+
+    private void register(SseEmitter emitter, String lastEventId) {
+        long last = ring.lastSequence();
+        Long resumeFrom = lastEventId != null ? ring.sequenceOf(lastEventId) : Long.valueOf(last);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBuffer, resumeFrom != null ? resumeFrom : last);
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        if (resumeFrom == null) {
+            // id de otro arranque o invalido: debe recargar el listado completo
+            reset(subscriber);
+        } else {
+            catchUp(subscriber, true);
+        }
+        if (!subscriber.closed) {
+            subscribers.add(subscriber);
+            log.debug("Suscriptor SSE registrado, total: {}.", subscribers.size());
+        }
+    }
+
+    private void broadcast() {
+        broadcastScheduled.set(false);
+        subscribers.forEach(subscriber -> catchUp(subscriber, false));
+    }
+
+    // Encola en orden todo lo posterior a lastSent (solo en el hilo de reparto)
+    private void catchUp(Subscriber subscriber, boolean resuming) {
+        List<ChangeRingBuffer.Entry> missed = ring.since(subscriber.lastSent);
+        if (missed == null || (resuming && missed.size() >= subscriberBuffer)) {
+            // fuera del buffer o demasiado atrasado: debe recargar el listado completo
+            reset(subscriber);
+            return;
+        }
+        for (ChangeRingBuffer.Entry entry : missed) {
+            subscriber.lastSent = entry.sequence();
+            enqueue(subscriber, SseEmitter.event()
+                    .id(entry.id())
+                    .name(entry.name())
+                    .data(entry.json(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void reset(Subscriber subscriber) {
+        subscriber.lastSent = ring.lastSequence();
+        enqueue(subscriber, SseEmitter.event().id(ring.idOf(subscriber.lastSent)).name(RESET).data(""));
+    }
+
+    // No bloquea: si la cola del suscriptor esta llena se le desconecta
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.pending.offer(event)) {
+            log.warn("Suscriptor SSE lento ({} eventos pendientes), se desconecta.", subscriber.pending.size());
+            close(subscriber, null);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Un solo drenado activo por suscriptor: conserva el orden de los eventos
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber, e);
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.closed && !subscriber.pending.isEmpty()
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    // complete() puede esperar a un send bloqueado: se hace fuera del hilo de reparto
+    private void close(Subscriber subscriber, Throwable error) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.pending.clear();
+        senders.execute(() -> {
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        });
+    }
+}
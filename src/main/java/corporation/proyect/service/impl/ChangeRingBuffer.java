@@ -0,0 +1,82 @@
+package corporation.proyect.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Ring buffer del feed de cambios. Cada evento lleva el id SSE {@code <epoch>-<secuencia>};
+ * el epoch identifica el arranque de la instancia, asi un Last-Event-ID de otro
+ * arranque (o de otro pod) se detecta siempre y el cliente recibe un reset.
+ */
+final class ChangeRingBuffer {
+
+    record Entry(long sequence, String id, String name, String json) {
+    }
+
+    private final long epoch;
+    private final Entry[] ring;
+    private long nextSequence = 1;
+
+    ChangeRingBuffer(int capacity, long epoch) {
+        this.ring = new Entry[capacity];
+        this.epoch = epoch;
+    }
+
+    // json recibe la secuencia asignada; si devuelve null la secuencia no se consume
+    synchronized Entry append(String name, LongFunction<String> json) {
+        long sequence = nextSequence;
+        String payload = json.apply(sequence);
+        if (payload == null) {
+            return null;
+        }
+        Entry entry = new Entry(sequence, idOf(sequence), name, payload);
+        ring[(int) (sequence % ring.length)] = entry;
+        nextSequence++;
+        return entry;
+    }
+
+    // null si el id es de otro epoch, no es valido o ya salio del buffer: el cliente debe hacer reset
+    List<Entry> since(String lastEventId) {
+        Long lastSequence = sequenceOf(lastEventId);
+        return lastSequence != null ? since(lastSequence) : null;
+    }
+
+    // Entradas posteriores a lastSequence en orden, sin huecos; null si ya salieron del buffer
+    synchronized List<Entry> since(long lastSequence) {
+        long oldest = Math.max(1, nextSequence - ring.length);
+        if (lastSequence + 1 < oldest || lastSequence >= nextSequence) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>((int) (nextSequence - lastSequence - 1));
+        for (long seq = lastSequence + 1; seq < nextSequence; seq++) {
+            entries.add(ring[(int) (seq % ring.length)]);
+        }
+        return entries;
+    }
+
+    synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    String idOf(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // secuencia de un id de este epoch; null si es de otro arranque o no es valido
+    Long sequenceOf(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        if (dash <= 0) {
+            return null;
+        }
+        try {
+            if (Long.parseLong(lastEventId, 0, dash, 10) != epoch) {
+                return null;
+            }
+            long sequence = Long.parseLong(lastEventId, dash + 1, lastEventId.length(), 10);
+            return sequence >= 0 ? sequence : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package corporation.proyect.service.impl;
+
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.enums.ChangeType;
+import corporation.proyect.repository.IItemDetailRepository;
+import corporation.proyect.repository.IItemRepository;
+import corporation.proyect.service.IItemArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Archivado de datos frios: items inactivos con mas de max-age-days se copian con sus
+ * detalles a items_archive / item_details_archive y se borran de las tablas calientes,
+ * en lotes de batch-size, cada lote en su propia transaccion.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemArchiveServiceImpl implements IItemArchiveService {
+
+    //repos
+    private final IItemRepository itemRepository;
+    private final IItemDetailRepository itemDetailRepository;
+    //tx
+    private final PlatformTransactionManager transactionManager;
+    //eventos de cambio
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${items.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${items.archive.max-age-days:365}")
+    private int maxAgeDays;
+
+    @Value("${items.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${items.archive.cron:0 30 3 * * *}")
+    void scheduledArchive() {
+        if (enabled) {
+            archiveInactiveItems();
+        }
+    }
+
+    @Override
+    public int archiveInactiveItems() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        log.info("Iniciar archivado de items inactivos anteriores a {}.", cutoff);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int total = 0;
+        int candidates;
+        do {
+            int[] chunk = transactionTemplate.execute(tx -> archiveChunk(cutoff));
+            candidates = chunk[0];
+            total += chunk[1];
+        } while (candidates == batchSize);
+
+        log.info("Termino el archivado: {} items movidos.", total);
+        return total;
+    }
+
+    // devuelve {candidatos leidos, items archivados}
+    private int[] archiveChunk(LocalDateTime cutoff) {
+        List<Integer> ids = itemRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        // bloquea los items padre: un detalle nuevo espera al commit y luego no encuentra el item
+        List<Integer> locked = itemRepository.lockArchivable(ids, cutoff).stream()
+                .map(item -> item.getId())
+                .toList();
+        if (locked.isEmpty()) {
+            return new int[]{ids.size(), 0};
+        }
+
+        // primero el item, luego sus detalles
+        itemRepository.copyToArchive(locked, cutoff, archivedAt);
+        List<Integer> archived = itemRepository.findArchivedIds(locked);
+        if (archived.isEmpty()) {
+            return new int[]{ids.size(), 0};
+        }
+        int details = itemDetailRepository.copyToArchiveByItemIds(archived, archivedAt);
+        itemDetailRepository.deleteArchivedByItemIds(archived);
+        itemRepository.deleteArchived(archived, cutoff);
+
+        // se difunden tras el commit (feed, conteo y cache de respuestas)
+        archived.forEach(id -> eventPublisher.publishEvent(
+                new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.DELETED, id, null)));
+        log.debug("Lote archivado: {} items, {} detalles.", archived.size(), details);
+        return new int[]{ids.size(), archived.size()};
+    }
+}
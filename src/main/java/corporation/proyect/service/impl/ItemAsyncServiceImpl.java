@@ -0,0 +1,291 @@
+package corporation.proyect.service.impl;
+
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.dto.ItemAsyncStatusDTO;
+import corporation.proyect.dto.ItemRequestDTO;
+import corporation.proyect.entity.Item;
+import corporation.proyect.enums.AsyncStatus;
+import corporation.proyect.enums.ChangeType;
+import corporation.proyect.exception.Errors.ExDataNotFoundException;
+import corporation.proyect.exception.Errors.ExServiceUnavailableException;
+import corporation.proyect.mapper.IItemMapper;
+import corporation.proyect.repository.IItemRepository;
+import corporation.proyect.service.IItemAsyncService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creacion de items en modo write-behind: las peticiones se encolan en una cola
+ * acotada y un hilo escritor las agrupa en una sola transaccion (group commit) con un
+ * INSERT por lotes de JDBC: con IDENTITY Hibernate no agrupa inserts.
+ * Los fallos transitorios (BD caida, timeout, bloqueo) se reintentan con espera creciente;
+ * ante un error de datos el lote se confirma item por item y solo las filas invalidas
+ * quedan FAILED; esos estados se olvidan tras failed-ttl-ms.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAsyncServiceImpl implements IItemAsyncService {
+
+    private static final String INSERT_ITEM = "insert into items " +
+            "(item_name, item_quantity, item_active, item_created, item_uuid) values (?, ?, ?, ?, ?)";
+
+    //repo
+    private final IItemRepository itemRepository;
+    //mapper
+    private final IItemMapper itemMapper;
+    //tx
+    private final PlatformTransactionManager transactionManager;
+    //insercion por lotes
+    private final JdbcTemplate jdbcTemplate;
+    //eventos de cambio
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${items.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${items.async.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${items.async.linger-ms:20}")
+    private long lingerMs;
+
+    @Value("${items.async.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${items.async.failed-ttl-ms:600000}")
+    private long failedTtlMs;
+
+    @Value("${items.async.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${items.async.max-retry-backoff-ms:30000}")
+    private long maxRetryBackoffMs;
+
+    private BlockingQueue<Item> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    // trackingId -> estado mientras no este confirmado en BD
+    private final Map<UUID, Tracking> tracking = new ConcurrentHashMap<>();
+
+    private record Tracking(AsyncStatus status, long since) {
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::drainLoop, "item-write-behind");
+        writer.start();
+        log.info("Write-behind de items iniciado (capacidad={}, lote={}, linger={}ms).",
+                queueCapacity, maxBatchSize, lingerMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        log.info("Deteniendo write-behind de items, pendientes: {}.", queue.size());
+        running = false;
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            log.warn("El escritor no termino en {}ms, pendientes descartados: {}.", shutdownTimeoutMs, queue.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public ItemAsyncStatusDTO enqueueItem(ItemRequestDTO itemRequestDTO) {
+        if (!running) {
+            throw new ExServiceUnavailableException("Async ingestion is shutting down");
+        }
+        log.debug("Maper el request a modelo Item.");
+        Item item = itemMapper.toItem(itemRequestDTO);
+        item.setName(itemRequestDTO.name());
+        item.setQuantity(itemRequestDTO.quantity());
+        item.setActive(itemRequestDTO.active());
+        item.setCreated(LocalDateTime.now());
+        // el uuid del item sirve como id de seguimiento
+        UUID trackingId = UUID.randomUUID();
+        item.setUuid(trackingId);
+
+        tracking.put(trackingId, new Tracking(AsyncStatus.PENDING, System.currentTimeMillis()));
+        if (!queue.offer(item)) {
+            tracking.remove(trackingId);
+            throw new ExServiceUnavailableException("Async ingestion queue is full");
+        }
+        log.debug("Item encolado con trackingId {}.", trackingId);
+        return new ItemAsyncStatusDTO(trackingId, AsyncStatus.PENDING, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAsyncStatusDTO getStatus(UUID trackingId) {
+        Tracking status = tracking.get(trackingId);
+        if (status != null) {
+            return new ItemAsyncStatusDTO(trackingId, status.status(), null);
+        }
+        Item item = itemRepository.findByUuid(trackingId)
+                .orElseThrow(() -> new ExDataNotFoundException("tracking id not found: " + trackingId));
+        return new ItemAsyncStatusDTO(trackingId, AsyncStatus.COMPLETED, itemMapper.toItemResponseDTO(item));
+    }
+
+    // Hilo escritor: espera el primer item, junta hasta maxBatchSize o linger y confirma
+    private void drainLoop() {
+        List<Item> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Item first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) {
+                        break;
+                    }
+                    Item next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("Escritor write-behind de items finalizado.");
+    }
+
+    private void flush(List<Item> batch) throws InterruptedException {
+        if (saveWithRetry(batch)) {
+            log.debug("Lote de {} items confirmado en una transaccion.", batch.size());
+            return;
+        }
+        // error de datos en el lote: item por item para aislar las filas invalidas
+        for (Item item : batch) {
+            if (!saveWithRetry(List.of(item))) {
+                tracking.put(item.getUuid(), new Tracking(AsyncStatus.FAILED, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    // false solo ante errores de datos; los fallos transitorios se reintentan con espera creciente
+    private boolean saveWithRetry(List<Item> items) throws InterruptedException {
+        long backoff = retryBackoffMs;
+        while (true) {
+            try {
+                save(items);
+                return true;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    log.warn("Error de datos al confirmar {} items.", items.size(), e);
+                    return false;
+                }
+                // la cola acotada se llena mientras tanto y enqueueItem responde 503
+                log.warn("BD no disponible al confirmar {} items, reintento en {}ms.", items.size(), backoff, e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, maxRetryBackoffMs);
+            }
+        }
+    }
+
+    // conexion, timeout, bloqueo o transaccion que no pudo abrirse/confirmarse
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+
+    // Un solo INSERT por lote (rewriteBatchedStatements lo reescribe en multi-fila) y lectura de claves
+    private void save(List<Item> items) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_ITEM, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Item item = items.get(i);
+                            ps.setString(1, item.getName());
+                            ps.setInt(2, item.getQuantity());
+                            ps.setBoolean(3, item.getActive());
+                            ps.setObject(4, item.getCreated());
+                            ps.setBytes(5, toBytes(item.getUuid()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return items.size();
+                        }
+                    },
+                    keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(((Number) keys.get(i).values().iterator().next()).intValue());
+            }
+            // se difunden tras el commit
+            items.forEach(item -> eventPublisher.publishEvent(new ChangeEventDTO(
+                    ChangeEventDTO.ITEM, ChangeType.CREATED, item.getId(), itemMapper.toItemResponseDTO(item))));
+        });
+        items.forEach(item -> tracking.remove(item.getUuid()));
+    }
+
+    // mismo formato que Hibernate para UUID en BINARY(16): bits altos y luego bajos
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    // Los FAILED se conservan failed-ttl-ms para consultarlos y luego se descartan
+    @Scheduled(fixedDelayString = "${items.async.failed-purge-ms:60000}")
+    void purgeFailed() {
+        long expired = System.currentTimeMillis() - failedTtlMs;
+        tracking.entrySet().removeIf(entry -> entry.getValue().status() == AsyncStatus.FAILED
+                && entry.getValue().since() < expired);
+    }
+}
@@ -0,0 +1,77 @@
+package corporation.proyect.service.impl;
+
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.enums.ChangeType;
+import corporation.proyect.repository.IItemRepository;
+import corporation.proyect.service.IItemCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Total de items para la paginacion sin SELECT count(*) en cada peticion:
+ * se refresca en segundo plano y se ajusta con las altas/bajas confirmadas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemCountServiceImpl implements IItemCountService {
+
+    //repo
+    private final IItemRepository itemRepository;
+
+    @Value("${items.count.cached:true}")
+    private boolean cached;
+
+    // edad maxima del ultimo refresco antes de volver a contar en linea
+    @Value("${items.count.max-staleness-ms:300000}")
+    private long maxStalenessMs;
+
+    private final AtomicLong count = new AtomicLong();
+    private volatile long refreshedAt;
+
+    @Override
+    public long totalItems(boolean exact) {
+        if (exact || !cached) {
+            return itemRepository.count();
+        }
+        if (System.currentTimeMillis() - refreshedAt > maxStalenessMs) {
+            log.debug("Conteo cacheado vencido, contando en linea.");
+            return refresh();
+        }
+        return Math.max(0, count.get());
+    }
+
+    @Scheduled(fixedDelayString = "${items.count.refresh-ms:30000}")
+    void scheduledRefresh() {
+        if (cached) {
+            refresh();
+        }
+    }
+
+    // Altas y bajas confirmadas (mismo evento que el feed de cambios)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        if (!ChangeEventDTO.ITEM.equals(event.entity())) {
+            return;
+        }
+        if (event.type() == ChangeType.CREATED) {
+            count.incrementAndGet();
+        } else if (event.type() == ChangeType.DELETED) {
+            count.decrementAndGet();
+        }
+    }
+
+    private long refresh() {
+        long total = itemRepository.count();
+        count.set(total);
+        refreshedAt = System.currentTimeMillis();
+        log.debug("Conteo de items refrescado: {}.", total);
+        return total;
+    }
+}
@@ -1,19 +1,30 @@
 package corporation.proyect.service.impl;
 
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.dto.ItemDetailNormalizedDTO;
+import corporation.proyect.dto.ItemDetailRefDTO;
 import corporation.proyect.dto.ItemDetailRequestDTO;
 import corporation.proyect.dto.ItemDetailResponseDTO;
+import corporation.proyect.dto.ItemResponseDTO;
 import corporation.proyect.entity.Item;
 import corporation.proyect.entity.ItemDetail;
+import corporation.proyect.enums.ChangeType;
 import corporation.proyect.exception.Errors.ExDataNotFoundException;
 import corporation.proyect.mapper.IItemDetailMapper;
+import corporation.proyect.mapper.IItemMapper;
 import corporation.proyect.repository.IItemDetailRepository;
 import corporation.proyect.repository.IItemRepository;
 import corporation.proyect.service.IItemDetailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,17 +38,54 @@ public class ItemDetailServiceImpl implements IItemDetailService {
 
     //mapper
     private final IItemDetailMapper iItemDetailMapper;
+    private final IItemMapper iItemMapper;
+
+    //eventos de cambio
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDetailResponseDTO> listarItemDetail() {
-        List<ItemDetail> itemDetails = itemDetailRepository.findAll();
+        List<ItemDetail> itemDetails = itemDetailRepository.findAllWithItem();
         return itemDetails.stream()
                 .map(itemDetail -> iItemDetailMapper.toItemDetailResponseDTO(itemDetail))
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ItemDetailNormalizedDTO listarItemDetailNormalizado() {
+        log.debug("listar detalles con items en una sola consulta");
+        return normalizar(itemDetailRepository.findAllWithItem());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemDetailNormalizedDTO listarItemDetailPorItem(Integer itemId) {
+        List<ItemDetail> itemDetails = itemDetailRepository.findByItemIdWithItem(itemId);
+        if (itemDetails.isEmpty()) {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new ExDataNotFoundException("Item  not found :" + itemId));
+            return new ItemDetailNormalizedDTO(List.of(), Map.of(item.getId(), iItemMapper.toItemResponseDTO(item)));
+        }
+        return normalizar(itemDetails);
+    }
+
+    // cada item padre se mapea una sola vez
+    private ItemDetailNormalizedDTO normalizar(List<ItemDetail> itemDetails) {
+        List<ItemDetailRefDTO> details = new ArrayList<>(itemDetails.size());
+        Map<Integer, ItemResponseDTO> items = new LinkedHashMap<>();
+        for (ItemDetail itemDetail : itemDetails) {
+            details.add(iItemDetailMapper.toItemDetailRefDTO(itemDetail));
+            Item item = itemDetail.getItem();
+            items.computeIfAbsent(item.getId(), id -> iItemMapper.toItemResponseDTO(item));
+        }
+        return new ItemDetailNormalizedDTO(details, items);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemDetailResponseDTO buscarxid(Integer id) {
         ItemDetail itemDetail = itemDetailRepository.findById(id)
                 .orElseThrow(() -> new ExDataNotFoundException("Item detail not found :"+id));
@@ -45,9 +93,11 @@ public class ItemDetailServiceImpl implements IItemDetailService {
     }
 
     @Override
+    @Transactional
     public ItemDetailResponseDTO registrarItemDetail(ItemDetailRequestDTO itemDetailRequestDTO) {
 
-        Item item = itemRepository.findById(itemDetailRequestDTO.itemId())
+        // bloqueo compartido: el item no puede borrarse/archivarse hasta el commit
+        Item item = itemRepository.findByIdForShare(itemDetailRequestDTO.itemId())
                 .orElseThrow(() -> new ExDataNotFoundException(" id de detail no encontado :" + itemDetailRequestDTO.itemId()));
 
         log.debug("mapeo de los datos request al modelo");
@@ -59,11 +109,14 @@ public class ItemDetailServiceImpl implements IItemDetailService {
         log.debug("setear datos a itemDetailRequestDTO");
         //
         itemDetailRepository.save(itemDetail);
-        return iItemDetailMapper.toItemDetailResponseDTO(itemDetail);
+        ItemDetailResponseDTO response = iItemDetailMapper.toItemDetailResponseDTO(itemDetail);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.DETAIL, ChangeType.CREATED, itemDetail.getId(), response));
+        return response;
 
     }
 
     @Override
+    @Transactional
     public ItemDetailResponseDTO actualizarItemDetail(ItemDetailRequestDTO itemDetailRequestDTO, Integer id) {
         ItemDetail itemDetail = itemDetailRepository.findById(id)
                 .orElseThrow(() -> new ExDataNotFoundException("Item detail not found :"+id));
@@ -71,12 +124,14 @@ public class ItemDetailServiceImpl implements IItemDetailService {
         itemDetail.setDescription(itemDetailRequestDTO.description());
         itemDetail.setQuantity(itemDetailRequestDTO.quantity());
 
-        Item item =  itemRepository.findById(itemDetailRequestDTO.itemId())
+        Item item =  itemRepository.findByIdForShare(itemDetailRequestDTO.itemId())
                 .orElseThrow(() -> new ExDataNotFoundException("Item  not found :"+itemDetailRequestDTO.itemId()));
         itemDetail.setItem(item);
         // guardamos
         itemDetailRepository.save(itemDetail);
-        return iItemDetailMapper.toItemDetailResponseDTO(itemDetail);
+        ItemDetailResponseDTO response = iItemDetailMapper.toItemDetailResponseDTO(itemDetail);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.DETAIL, ChangeType.UPDATED, id, response));
+        return response;
     }
 
     @Override
@@ -84,5 +139,6 @@ public class ItemDetailServiceImpl implements IItemDetailService {
         itemDetailRepository.findById(id)
                 .orElseThrow(() -> new ExDataNotFoundException("Item detail not found :"+id));
         itemDetailRepository.deleteById(id);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.DETAIL, ChangeType.DELETED, id, null));
     }
 }
@@ -0,0 +1,138 @@
+package corporation.proyect.service.impl;
+
+import corporation.proyect.service.IItemPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Mantiene las particiones mensuales de items (RANGE COLUMNS item_created, ver V2):
+ * parte p_future para que siempre existan las de los proximos months-ahead meses y
+ * elimina las de mas de retention-months que el archivado ya dejo vacias.
+ * Cada pod ejecuta la tarea: un GET_LOCK de MySQL (sobre una sola conexion) garantiza
+ * que solo una instancia altera la tabla a la vez; las demas lo omiten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemPartitionServiceImpl implements IItemPartitionService {
+
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String LOCK = "items.partition-maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${items.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${items.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${items.partitioning.retention-months:24}")
+    private int retentionMonths;
+
+    @Scheduled(cron = "${items.partitioning.cron:0 0 3 * * *}")
+    void scheduledMaintenance() {
+        if (enabled) {
+            ensureFuturePartitions();
+            dropExpiredPartitions();
+        }
+    }
+
+    @Override
+    public void ensureFuturePartitions() {
+        withLock(jdbc -> {
+            ensureFuturePartitions(jdbc);
+            return null;
+        });
+    }
+
+    @Override
+    public int dropExpiredPartitions() {
+        Integer dropped = withLock(jdbc -> dropExpiredPartitions(jdbc));
+        return dropped != null ? dropped : 0;
+    }
+
+    // Ejecuta la tarea con el lock de mantenimiento; null si otra instancia lo tiene
+    private <T> T withLock(Function<JdbcTemplate, T> task) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            // GET_LOCK pertenece a la conexion: todo se ejecuta sobre la misma
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = locked.queryForObject("select get_lock(?, 0)", Integer.class, LOCK);
+            if (acquired == null || acquired != 1) {
+                log.info("Otra instancia mantiene las particiones de items, se omite.");
+                return null;
+            }
+            try {
+                return task.apply(locked);
+            } finally {
+                locked.queryForObject("select release_lock(?)", Integer.class, LOCK);
+            }
+        });
+    }
+
+    private void ensureFuturePartitions(JdbcTemplate jdbc) {
+        Set<String> existing = new HashSet<>(partitionNames(jdbc));
+        if (!existing.contains(FUTURE)) {
+            log.warn("La tabla items no esta particionada (falta {}), se omite el mantenimiento.", FUTURE);
+            return;
+        }
+
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth target = month.plusMonths(i);
+            String name = target.format(PARTITION_NAME);
+            if (existing.contains(name)) {
+                continue;
+            }
+            log.info("Crear particion {} de items.", name);
+            jdbc.execute("ALTER TABLE items REORGANIZE PARTITION " + FUTURE + " INTO (" +
+                    "PARTITION " + name + " VALUES LESS THAN ('" + target.plusMonths(1).atDay(1) + " 00:00:00'), " +
+                    "PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE))");
+        }
+    }
+
+    private int dropExpiredPartitions(JdbcTemplate jdbc) {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        // el nombre pYYYYMM es el mes que contiene; se conserva p_old y p_future
+        String oldest = YearMonth.now().minusMonths(retentionMonths).format(PARTITION_NAME);
+        int dropped = 0;
+        for (String name : partitionNames(jdbc)) {
+            if (!name.matches("p\\d{6}") || name.compareTo(oldest) >= 0) {
+                continue;
+            }
+            // solo si el archivado ya la vacio: nunca se borran datos sin archivar
+            if (!jdbc.queryForList("select 1 from items partition (" + name + ") limit 1").isEmpty()) {
+                log.debug("Particion {} fuera de retencion pero con filas, se conserva.", name);
+                continue;
+            }
+            log.info("Eliminar particion vacia {} de items.", name);
+            jdbc.execute("ALTER TABLE items DROP PARTITION " + name);
+            dropped++;
+        }
+        return dropped;
+    }
+
+    private List<String> partitionNames(JdbcTemplate jdbc) {
+        return jdbc.queryForList(
+                "select partition_name from information_schema.partitions " +
+                        "where table_schema = database() and table_name = 'items' and partition_name is not null " +
+                        "order by partition_ordinal_position",
+                String.class);
+    }
+}
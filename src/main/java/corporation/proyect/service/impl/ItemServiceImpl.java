@@ -1,21 +1,29 @@
 package corporation.proyect.service.impl;
 
+import corporation.proyect.dto.ChangeEventDTO;
 import corporation.proyect.dto.ItemRequestDTO;
 import corporation.proyect.dto.ItemResponseDTO;
 import corporation.proyect.entity.Item;
+import corporation.proyect.enums.ChangeType;
 import corporation.proyect.exception.Errors.ExDataNotFoundException;
 import corporation.proyect.exception.Errors.ExInvalidDataException;
 import corporation.proyect.mapper.IItemMapper;
 import corporation.proyect.pagination.PageResponseDTO;
+import corporation.proyect.repository.IItemDetailRepository;
 import corporation.proyect.repository.IItemRepository;
 import corporation.proyect.response.ResponseDTO;
 import corporation.proyect.response.ResponseMessage;
+import corporation.proyect.service.IItemCountService;
 import corporation.proyect.service.IItemService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,11 +39,17 @@ public class ItemServiceImpl implements IItemService {
     //ioc
     //repo
     private final IItemRepository itemRepository;
+    private final IItemDetailRepository itemDetailRepository;
     //mapper
     private final IItemMapper itemMapper;
+    //eventos de cambio
+    private final ApplicationEventPublisher eventPublisher;
+    //conteo cacheado
+    private final IItemCountService itemCountService;
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemResponseDTO> getAllItems() {
         log.info("Iniciando la obtención de todos los items.");
         List<Item> items= itemRepository.findAll();
@@ -51,19 +65,47 @@ public class ItemServiceImpl implements IItemService {
     }
 
     @Override
-    public PageResponseDTO<ItemResponseDTO> getAllItemsPageable(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ItemResponseDTO> getAllItemsPageable(Pageable pageable, boolean exactCount) {
         log.info("Iniciar obtencion de los items en Page paged.");
-        Page<ItemResponseDTO> paged = itemRepository.findAll(pageable)
+        Slice<ItemResponseDTO> slice = itemRepository.findAllBy(pageable)
                 .map(item -> itemMapper.toItemResponseDTO(item));
-        log.debug("Trasnformacion de listado a Pageable.");
         log.debug("Mapeo de cursos");
 
+        log.debug("Obtener total (exacto: {}).", exactCount);
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total = itemCountService.totalItems(exactCount);
+        // el slice corrige un conteo cacheado desfasado
+        if (slice.hasNext()) {
+            total = Math.max(total, seen + 1);
+        } else if (slice.hasContent()) {
+            total = seen;
+        } else {
+            // pagina vacia: no hay mas filas que el offset
+            total = Math.min(total, pageable.getOffset());
+        }
+        Page<ItemResponseDTO> paged = new PageImpl<>(slice.getContent(), pageable, total);
+
         log.debug("Nuevo obj de Respuesta dentro de Pageable.");
         log.info("Finalizando el listado de Items en Paginados.");
         return new PageResponseDTO<>(paged);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDTO> getItemsCreatedBetween(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        log.info("Iniciar obtencion de items creados entre {} y {}.", from, to);
+        if (!from.isBefore(to)) {
+            throw new ExInvalidDataException("from must be before to");
+        }
+        log.debug("Consulta acotada por item_created (poda de particiones).");
+        return itemRepository.findCreatedBetween(from, to, pageable)
+                .map(item -> itemMapper.toItemResponseDTO(item))
+                .getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemResponseDTO getItemById(Integer id) {
 
         log.info("Iniciar busqueda y validacion de id.");
@@ -92,8 +134,10 @@ public class ItemServiceImpl implements IItemService {
         log.debug("Guardar datos seteados.");
         itemRepository.save(item);
         log.debug("Mapear del modelo a un itemResponseDTO.");
+        ItemResponseDTO itemResponseDTO = itemMapper.toItemResponseDTO(item);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.CREATED, item.getId(), itemResponseDTO));
         log.info("Terminar con mapeo y retorno.");
-        return itemMapper.toItemResponseDTO(item);
+        return itemResponseDTO;
     }
 
     @Override
@@ -113,6 +157,7 @@ public class ItemServiceImpl implements IItemService {
 
         log.debug("Mapear del modelo a un itemResponseDTO.");
         ItemResponseDTO itemResponseDTO =  itemMapper.toItemResponseDTO(item);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.CREATED, item.getId(), itemResponseDTO));
         log.debug("Envolver la itemResponseDTO en un ResponseDTO.");
         log.info("Terminar con retorno con ResponseDTO y Mensaje Registrado.");
         return new ResponseDTO(ResponseMessage.SUCCESSFUL_ADDITION.getMessage(), itemResponseDTO);
@@ -134,8 +179,10 @@ public class ItemServiceImpl implements IItemService {
         log.debug("Guardar datos seteados.");
         itemRepository.save(itemRecovered);
         log.debug("Mapear del modelo a un itemResponseDTO.");
+        ItemResponseDTO itemResponseDTO = itemMapper.toItemResponseDTO(itemRecovered);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.UPDATED, id, itemResponseDTO));
         log.info("Temino la modificacion del itemRequestDTO.");
-        return itemMapper.toItemResponseDTO(itemRecovered);
+        return itemResponseDTO;
     }
 
     @Override
@@ -155,31 +202,44 @@ public class ItemServiceImpl implements IItemService {
         itemRepository.save(itemRecovered);
         log.debug("Mapear del modelo a un itemResponseDTO.");
         ItemResponseDTO itemResponseDTO =  itemMapper.toItemResponseDTO(itemRecovered);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.UPDATED, id, itemResponseDTO));
         log.debug("Envolver la itemResponseDTO en un ResponseDTO.");
         log.info("Terminar con retorno con ResponseDTO y Mensaje Modificado.");
         return new ResponseDTO(ResponseMessage.SUCCESSFUL_MODIFICATION.getMessage(), itemResponseDTO);
     }
 
     @Override
+    @Transactional
     public void deleteItem(Integer id) {
 
         log.info("Iniciar Eliminacion de Modelo Item.");
-        log.debug("Validar id existente.");
-        itemRepository.findById(id)
+        log.debug("Validar id existente y bloquear la fila del item.");
+        itemRepository.findByIdForUpdate(id)
                 .orElseThrow(()-> new ExDataNotFoundException("id item not found: "+id));
+        log.debug("Validar que no tenga detalles (sin FK en la tabla particionada).");
+        if (itemDetailRepository.existsByItemId(id)) {
+            throw new ExInvalidDataException("item has details: "+id);
+        }
         log.debug("Eliminar el item por id.");
         log.info("Termina con Eliminacion de Modelo Item.");
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.DELETED, id, null));
     }
 
     @Override
+    @Transactional
     public ResponseDTO deleteItemResponse(Integer id) {
         log.info("Iniciar Eliminacion de Modelo Item con Response.");
-        log.debug("Validar id existente.");
-        itemRepository.findById(id)
+        log.debug("Validar id existente y bloquear la fila del item.");
+        itemRepository.findByIdForUpdate(id)
                 .orElseThrow(()-> new ExDataNotFoundException("id item not found: "+id));
+        log.debug("Validar que no tenga detalles (sin FK en la tabla particionada).");
+        if (itemDetailRepository.existsByItemId(id)) {
+            throw new ExInvalidDataException("item has details: "+id);
+        }
         log.debug("Eliminar el item por id.");
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ChangeEventDTO(ChangeEventDTO.ITEM, ChangeType.DELETED, id, null));
 
         log.debug("Envolver en ResponseDTO y Mensaje Eliminacion de Modelo Item.");
         log.info("Terminar con Eliminacion de Modelo Item con Response.");
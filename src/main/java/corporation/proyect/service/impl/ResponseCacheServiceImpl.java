@@ -0,0 +1,157 @@
+package corporation.proyect.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import corporation.proyect.dto.ChangeEventDTO;
+import corporation.proyect.service.IResponseCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache de respuestas ya codificadas para /items/all y las primeras paginas de /items/page.
+ * Cada entrada guarda el JSON (y su version gzip) junto con la generacion con la que se leyo;
+ * cualquier cambio confirmado de items en esta instancia incrementa la generacion e invalida todo.
+ * Cada clave se carga una sola vez por generacion: las peticiones concurrentes esperan el
+ * mismo future en lugar de repetir la consulta, el mapeo, Jackson y gzip.
+ * Los cambios hechos por otras instancias no llegan aqui: max-age-ms acota cuanto
+ * tiempo puede servirse una entrada desfasada.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheServiceImpl implements IResponseCacheService {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${items.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${items.response-cache.max-page:5}")
+    private int maxPage;
+
+    @Value("${items.response-cache.max-size:100}")
+    private int maxSize;
+
+    @Value("${items.response-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${items.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    @Value("${items.response-cache.max-age-ms:10000}")
+    private long maxAgeMs;
+
+    private final AtomicLong generation = new AtomicLong();
+    // true si ya hubo un cambio desde la ultima carga: los siguientes no vuelven a incrementar
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final Map<String, Load> entries = new ConcurrentHashMap<>();
+
+    private record Entry(byte[] json, byte[] gzip) {
+    }
+
+    // carga (en curso o terminada) de una clave; las peticiones concurrentes comparten el future
+    private record Load(long generation, long startedAt, CompletableFuture<Entry> entry) {
+    }
+
+    @Override
+    public ResponseEntity<byte[]> respond(String key, boolean cacheable, String acceptEncoding, Supplier<?> loader) {
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        if (!enabled || !cacheable) {
+            return build(serialize(loader.get()), null, acceptsGzip);
+        }
+
+        // la generacion se lee antes de consultar: si cambia durante la carga la entrada queda vencida
+        changed.set(false);
+        long current = generation.get();
+        long now = System.currentTimeMillis();
+        Load created = new Load(current, now, new CompletableFuture<>());
+        Load load = entries.compute(key, (k, existing) -> isUsable(existing, current, now) ? existing : created);
+        if (load == created) {
+            log.debug("Cache de respuesta sin entrada vigente para {}.", key);
+            try {
+                byte[] json = serialize(loader.get());
+                created.entry().complete(new Entry(json, gzip && json.length >= gzipMinBytes ? compress(json) : null));
+            } catch (RuntimeException e) {
+                entries.remove(key, created);
+                created.entry().completeExceptionally(e);
+                throw e;
+            }
+        }
+        Entry entry;
+        try {
+            entry = load.entry().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return build(entry.json(), entry.gzip(), acceptsGzip);
+    }
+
+    private boolean isUsable(Load load, long current, long now) {
+        return load != null
+                && load.generation() == current
+                && now - load.startedAt() < maxAgeMs
+                && !load.entry().isCompletedExceptionally();
+    }
+
+    @Override
+    public boolean isCacheablePage(int page, int size) {
+        return page < maxPage && size <= maxSize;
+    }
+
+    // Cualquier alta/modificacion/baja de items confirmada
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        // un lote (write-behind, archivado) publica un evento por item: un solo incremento
+        // basta mientras nadie haya cargado entre medias; las entradas viejas se reemplazan al pedirlas
+        if (ChangeEventDTO.ITEM.equals(event.entity()) && changed.compareAndSet(false, true)) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private ResponseEntity<byte[]> build(byte[] json, byte[] gzipped, boolean acceptsGzip) {
+        // el array se escribe tal cual (ByteArrayHttpMessageConverter), sin volver a serializar
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip && gzipped != null) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped);
+        }
+        return builder.body(json);
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
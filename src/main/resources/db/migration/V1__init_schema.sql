@@ -0,0 +1,20 @@
+-- Esquema inicial (equivalente a lo que generaba ddl-auto=update)
+CREATE TABLE IF NOT EXISTS items (
+    item_id       INT          NOT NULL AUTO_INCREMENT,
+    item_name     VARCHAR(100) NOT NULL,
+    item_quantity INT          NOT NULL,
+    item_active   BIT(1)       NOT NULL,
+    item_created  DATETIME(6)  NOT NULL,
+    item_uuid     BINARY(16)   NULL,
+    PRIMARY KEY (item_id),
+    CONSTRAINT uk_items_item_uuid UNIQUE (item_uuid)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS item_details (
+    detail_id          INT          NOT NULL AUTO_INCREMENT,
+    detail_description VARCHAR(255) NOT NULL,
+    detail_quantity    INT          NOT NULL,
+    item_id            INT          NOT NULL,
+    PRIMARY KEY (detail_id),
+    CONSTRAINT fk_item_details_item FOREIGN KEY (item_id) REFERENCES items (item_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,96 @@
+-- Particionado mensual de items por item_created + tablas de archivo.
+-- MySQL exige que toda clave unica incluya la columna de particion y no admite
+-- claves foraneas hacia/desde tablas particionadas: la FK de item_details pasa a ser
+-- un indice y la integridad la valida la aplicacion (ItemServiceImpl.deleteItem).
+-- Los nombres de FK/unique varian segun si el esquema lo creo Hibernate o V1.
+--
+-- IMPORTANTE: el ALTER de items reconstruye la tabla completa (ALGORITHM=COPY) y bloquea
+-- las escrituras mientras dura. No se aplica al arrancar los pods (el perfil prod no
+-- ejecuta Flyway); se ejecuta una vez, fuera de banda, con el perfil migrate
+-- (ver README, "Migracion V2").
+
+-- FK item_details -> items
+SET @fk := (SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+            WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'item_details'
+              AND REFERENCED_TABLE_NAME = 'items' LIMIT 1);
+SET @sql := IF(@fk IS NULL, 'SELECT 1', CONCAT('ALTER TABLE item_details DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- indice por item_id (el de la FK se conserva si existia)
+SET @idx := (SELECT INDEX_NAME FROM information_schema.STATISTICS
+             WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item_details'
+               AND COLUMN_NAME = 'item_id' AND SEQ_IN_INDEX = 1 LIMIT 1);
+SET @sql := IF(@idx IS NULL, 'CREATE INDEX idx_item_details_item_id ON item_details (item_id)', 'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- unique de item_uuid
+SET @uk := (SELECT INDEX_NAME FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'items'
+              AND COLUMN_NAME = 'item_uuid' AND NON_UNIQUE = 0 LIMIT 1);
+SET @sql := IF(@uk IS NULL, 'SELECT 1', CONCAT('ALTER TABLE items DROP INDEX ', @uk));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- claves con la columna de particion y particiones mensuales en una sola reconstruccion
+-- (ItemPartitionServiceImpl agrega las siguientes desde p_future y elimina las vacias antiguas)
+ALTER TABLE items
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (item_id, item_created),
+    ADD UNIQUE KEY uk_items_uuid_created (item_uuid, item_created),
+    ADD INDEX idx_items_active_created (item_active, item_created)
+PARTITION BY RANGE COLUMNS (item_created) (
+    PARTITION p_old VALUES LESS THAN ('2025-01-01 00:00:00'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01 00:00:00'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01 00:00:00'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01 00:00:00'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01 00:00:00'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01 00:00:00'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01 00:00:00'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01 00:00:00'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01 00:00:00'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01 00:00:00'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01 00:00:00'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01 00:00:00'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01 00:00:00'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01 00:00:00'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01 00:00:00'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01 00:00:00'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01 00:00:00'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01 00:00:00'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01 00:00:00'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01 00:00:00'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01 00:00:00'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01 00:00:00'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01 00:00:00'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01 00:00:00'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01 00:00:00'),
+    PARTITION p202701 VALUES LESS THAN ('2027-02-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- tablas de archivo (datos frios)
+CREATE TABLE IF NOT EXISTS items_archive (
+    item_id       INT          NOT NULL,
+    item_name     VARCHAR(100) NOT NULL,
+    item_quantity INT          NOT NULL,
+    item_active   BIT(1)       NOT NULL,
+    item_created  DATETIME(6)  NOT NULL,
+    item_uuid     BINARY(16)   NULL,
+    archived_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (item_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS item_details_archive (
+    detail_id          INT          NOT NULL,
+    detail_description VARCHAR(255) NOT NULL,
+    detail_quantity    INT          NOT NULL,
+    item_id            INT          NOT NULL,
+    archived_at        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (detail_id),
+    INDEX idx_item_details_archive_item_id (item_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,136 @@
+package corporation.proyect.benchmark;
+
+import corporation.proyect.controller.ItemController;
+import corporation.proyect.dto.ItemRequestDTO;
+import corporation.proyect.exception.Errors.ExDataNotFoundException;
+import corporation.proyect.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Camino de error: version anterior (excepcion con stack trace + HashMap por error)
+ * frente a la actual (excepcion sin stack + cuerpo inmutable / ProblemDetail).
+ *
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath corporation.proyect.benchmark.ErrorPathBenchmark"
+ * </pre>
+ * Con exec:exec la JVM arranca con el classpath de test, que es el que hereda el fork de JMH
+ * (exec:java corre dentro de Maven y el fork no encontraria ForkedMain ni el benchmark).
+ * Incluye el perfilador GC de JMH (gc.alloc.rate.norm = bytes por operacion); el resultado
+ * queda en target/jmh-error-path.json.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    // profundidad de pila simulada (una peticion real supera los 100 frames)
+    @Param({"20", "120"})
+    int depth;
+
+    private GlobalExceptionHandler mapHandler;
+    private GlobalExceptionHandler problemHandler;
+    private MethodArgumentNotValidException validationException;
+    private int id;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        mapHandler = new GlobalExceptionHandler();
+        problemHandler = new GlobalExceptionHandler();
+        ReflectionTestUtils.setField(problemHandler, "problemDetails", true);
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                new ItemRequestDTO("", -1, null), "itemRequestDTO");
+        bindingResult.addError(new FieldError("itemRequestDTO", "name", "Name is required"));
+        bindingResult.addError(new FieldError("itemRequestDTO", "quantity", "Quantity should be greater than or equal to 0"));
+        bindingResult.addError(new FieldError("itemRequestDTO", "active", "Active status is required"));
+        MethodParameter parameter = new MethodParameter(
+                ItemController.class.getMethod("createItem", ItemRequestDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    // ---- 404 ----
+    @Benchmark
+    public Object notFoundBaseline() {
+        int current = ++id;
+        RuntimeException ex = deep(depth, () -> new RuntimeException("id item not found: " + current));
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("code", HttpStatus.NOT_FOUND.value());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @Benchmark
+    public Object notFoundStackless() {
+        int current = ++id;
+        return mapHandler.handleDataNotFound(deep(depth, () -> new ExDataNotFoundException("id item not found: " + current)));
+    }
+
+    @Benchmark
+    public Object notFoundProblemDetail() {
+        int current = ++id;
+        return problemHandler.handleDataNotFound(deep(depth, () -> new ExDataNotFoundException("id item not found: " + current)));
+    }
+
+    // ---- 400 validacion (la excepcion la crea Spring, se mide solo el handler) ----
+    @Benchmark
+    public Object validationBaseline() {
+        Map<String, String> errors = validationException.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(
+                        fieldError -> fieldError.getField(),
+                        fieldError -> fieldError.getDefaultMessage() != null ?
+                                fieldError.getDefaultMessage() : "Invalid value"
+                ));
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Validation error");
+        response.put("code", HttpStatus.BAD_REQUEST.value());
+        response.put("errors", errors);
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @Benchmark
+    public Object validationCurrent() {
+        return mapHandler.handleValidationErrors(validationException);
+    }
+
+    @Benchmark
+    public Object validationProblemDetail() {
+        return problemHandler.handleValidationErrors(validationException);
+    }
+
+    private static <T> T deep(int frames, Supplier<T> supplier) {
+        return frames <= 0 ? supplier.get() : deep(frames - 1, supplier);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrorPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-error-path.json")
+                .build()).run();
+    }
+}
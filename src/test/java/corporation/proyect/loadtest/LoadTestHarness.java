@@ -0,0 +1,385 @@
+package corporation.proyect.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import corporation.proyect.ProyectApplication;
+import corporation.proyect.entity.Item;
+import corporation.proyect.entity.ItemDetail;
+import corporation.proyect.repository.IItemDetailRepository;
+import corporation.proyect.repository.IItemRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Arnes de carga reproducible: levanta ProyectApplication sobre H2 (modo MySQL),
+ * siembra items y detalles y ejecuta una mezcla de lecturas/escrituras sobre todos
+ * los endpoints de ItemController e ItemDetailController con hilos virtuales.
+ * Imprime throughput y p50/p99/p999 por endpoint y guarda los histogramas HDR
+ * en {@code target/loadtest} para comparar entre releases.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=corporation.proyect.loadtest.LoadTestHarness \
+ *     -Dloadtest.items=10000 -Dloadtest.concurrency=128 -Dloadtest.duration=60
+ * </pre>
+ * Propiedades: loadtest.items, loadtest.details, loadtest.concurrency,
+ * loadtest.warmup / loadtest.duration (segundos), loadtest.rate (peticiones/s totales,
+ * 0 = lazo cerrado), loadtest.sse (suscriptores a /items/changes), loadtest.out.
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MAX_LATENCY_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int items = Integer.getInteger("loadtest.items", 1_000);
+    private final int details = Integer.getInteger("loadtest.details", 5_000);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+    private final int rate = Integer.getInteger("loadtest.rate", 0);
+    private final int sseSubscribers = Integer.getInteger("loadtest.sse", 10);
+    private final Path outDir = Path.of(System.getProperty("loadtest.out", "target/loadtest"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private List<Integer> seededItemIds;
+    private List<Integer> seededDetailIds;
+    // ids creados durante la prueba (candidatos a borrar / consultar)
+    private final ConcurrentLinkedQueue<Integer> createdItemIds = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Integer> createdDetailIds = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> trackingIds = new ConcurrentLinkedQueue<>();
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final Histogram total = new ConcurrentHistogram(MAX_LATENCY_NS, 3);
+    private volatile boolean running;
+
+    // Endpoint de la mezcla: peso relativo y constructor de la peticion
+    private record Operation(String name, int weight, Function<LoadTestHarness, HttpRequest> request,
+                             Histogram histogram, AtomicLong errors) {
+        Operation(String name, int weight, Function<LoadTestHarness, HttpRequest> request) {
+            this(name, weight, request, new ConcurrentHistogram(MAX_LATENCY_NS, 3), new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProyectApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seed(context);
+            defineMix();
+
+            List<Thread> sse = openSseSubscribers();
+            phase(warmupSeconds);
+            resetHistograms();
+            long start = System.nanoTime();
+            phase(durationSeconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            sse.forEach(Thread::interrupt);
+
+            report(elapsed);
+        }
+        System.exit(0);
+    }
+
+    // ---- siembra ----
+    private void seed(ConfigurableApplicationContext context) {
+        IItemRepository itemRepository = context.getBean(IItemRepository.class);
+        IItemDetailRepository itemDetailRepository = context.getBean(IItemDetailRepository.class);
+
+        List<Item> newItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Item item = new Item();
+            item.setName("seed-" + i);
+            item.setQuantity(i % 100);
+            item.setActive(i % 10 != 0);
+            item.setCreated(LocalDateTime.now().minusMinutes(i));
+            newItems.add(item);
+        }
+        seededItemIds = itemRepository.saveAll(newItems).stream().map(Item::getId).toList();
+
+        List<ItemDetail> newDetails = new ArrayList<>(details);
+        for (int i = 0; i < details; i++) {
+            ItemDetail detail = new ItemDetail();
+            detail.setDescription("seed-detail-" + i);
+            detail.setQuantity(i % 50);
+            detail.setItem(newItems.get(i % newItems.size()));
+            newDetails.add(detail);
+        }
+        seededDetailIds = itemDetailRepository.saveAll(newDetails).stream().map(ItemDetail::getId).toList();
+        System.out.printf("Sembrados %d items y %d detalles en %s%n", items, details, baseUrl);
+    }
+
+    // ---- mezcla de endpoints (pesos sobre 1000) ----
+    private void defineMix() {
+        // ItemController
+        operations.add(new Operation("GET /items/all", 20, h -> h.get("/items/all")));
+        operations.add(new Operation("GET /items/page", 245, h -> h.get("/items/page?page=" + h.random(5) + "&size=20")));
+        operations.add(new Operation("GET /items/{id}", 280, h -> h.get("/items/" + h.seededItem())));
+        operations.add(new Operation("GET /items/range", 10, LoadTestHarness::createdRange));
+        operations.add(new Operation("GET /items/{id}/details", 10, h -> h.get("/items/" + h.seededItem() + "/details")));
+        operations.add(new Operation("POST /items", 40, h -> h.post("/items", h.itemJson())));
+        operations.add(new Operation("POST /items/response", 20, h -> h.post("/items/response", h.itemJson())));
+        operations.add(new Operation("POST /items/async", 40, h -> h.post("/items/async", h.itemJson())));
+        operations.add(new Operation("GET /items/async/{trackingId}", 20, LoadTestHarness::asyncStatus));
+        operations.add(new Operation("PUT /items/{id}", 30, h -> h.put("/items/" + h.seededItem(), h.itemJson())));
+        operations.add(new Operation("PUT /items/response/{id}", 15, h -> h.put("/items/response/" + h.seededItem(), h.itemJson())));
+        operations.add(new Operation("DELETE /items/{id}", 15, h -> h.deleteCreatedItem("/items/")));
+        operations.add(new Operation("DELETE /items/response/{id}", 10, h -> h.deleteCreatedItem("/items/response/")));
+        // ItemDetailController
+        operations.add(new Operation("GET /details", 5, h -> h.get("/details")));
+        operations.add(new Operation("GET /details?normalized=true", 5, h -> h.get("/details?normalized=true")));
+        operations.add(new Operation("GET /details/{id}", 150, h -> h.get("/details/" + h.seededDetail())));
+        operations.add(new Operation("POST /details", 40, h -> h.post("/details", h.detailJson())));
+        operations.add(new Operation("PUT /details/{id}", 25, h -> h.put("/details/" + h.seededDetail(), h.detailJson())));
+        operations.add(new Operation("DELETE /details/{id}", 20, LoadTestHarness::deleteCreatedDetail));
+    }
+
+    // ---- ejecucion ----
+    private void phase(int seconds) throws InterruptedException {
+        running = true;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // intervalo por hilo en modo abierto (latencia medida desde el inicio previsto)
+        long intervalNs = rate > 0 ? TimeUnit.SECONDS.toNanos(concurrency) / rate : 0;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> worker(end, intervalNs));
+            }
+        }
+        running = false;
+    }
+
+    private void worker(long end, long intervalNs) {
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        long intended = System.nanoTime();
+        while (running && System.nanoTime() < end) {
+            if (intervalNs > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+            Operation operation = pick(totalWeight);
+            execute(operation, intended);
+            intended += intervalNs;
+        }
+    }
+
+    private Operation pick(int totalWeight) {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            r -= operation.weight();
+            if (r < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void execute(Operation operation, long intendedStart) {
+        HttpRequest request = operation.request().apply(this);
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = Math.min(System.nanoTime() - intendedStart, MAX_LATENCY_NS);
+            operation.histogram().recordValue(latency);
+            total.recordValue(latency);
+            if (response.statusCode() >= 400) {
+                operation.errors().incrementAndGet();
+            } else {
+                remember(operation.name(), response.body());
+            }
+        } catch (IOException | InterruptedException e) {
+            operation.errors().incrementAndGet();
+        }
+    }
+
+    // guarda ids creados para borrados / consultas posteriores
+    private void remember(String operation, String body) throws IOException {
+        switch (operation) {
+            case "POST /items" -> createdItemIds.add(MAPPER.readTree(body).path("id").asInt());
+            case "POST /items/response" -> createdItemIds.add(MAPPER.readTree(body).path("data").path("id").asInt());
+            case "POST /items/async" -> trackingIds.add(MAPPER.readTree(body).path("trackingId").asText());
+            case "POST /details" -> createdDetailIds.add(MAPPER.readTree(body).path("id").asInt());
+            default -> {
+            }
+        }
+    }
+
+    private List<Thread> openSseSubscribers() {
+        List<Thread> threads = new ArrayList<>(sseSubscribers);
+        for (int i = 0; i < sseSubscribers; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/items/changes"))
+                        .header("Accept", "text/event-stream").GET().build();
+                try (InputStream stream = client.send(request, HttpResponse.BodyHandlers.ofInputStream()).body()) {
+                    stream.transferTo(OutputStream.nullOutputStream());
+                } catch (IOException | InterruptedException ignored) {
+                    // fin de la prueba
+                }
+            }));
+        }
+        return threads;
+    }
+
+    private void resetHistograms() {
+        operations.forEach(operation -> {
+            operation.histogram().reset();
+            operation.errors().set(0);
+        });
+        total.reset();
+    }
+
+    // ---- informe ----
+    private void report(double elapsedSeconds) throws IOException {
+        Files.createDirectories(outDir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path summary = outDir.resolve("summary-" + stamp + ".txt");
+        Path hlog = outDir.resolve("histograms-" + stamp + ".hlog");
+
+        Map<String, Histogram> all = new LinkedHashMap<>();
+        operations.forEach(operation -> all.put(operation.name(), operation.histogram()));
+        all.put("TOTAL", total);
+
+        try (PrintStream file = new PrintStream(Files.newOutputStream(summary))) {
+            for (PrintStream out : List.of(System.out, file)) {
+                out.printf("items=%d details=%d concurrency=%d rate=%s duration=%ds sse=%d%n",
+                        items, details, concurrency, rate > 0 ? rate + "/s" : "closed-loop", durationSeconds, sseSubscribers);
+                out.printf("%-32s %10s %10s %10s %10s %10s %10s %8s%n",
+                        "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+                for (Operation operation : operations) {
+                    line(out, operation.name(), operation.histogram(), operation.errors().get(), elapsedSeconds);
+                }
+                line(out, "TOTAL", total, operations.stream().mapToLong(o -> o.errors().get()).sum(), elapsedSeconds);
+            }
+        }
+
+        try (PrintStream log = new PrintStream(Files.newOutputStream(hlog))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            all.forEach((name, histogram) -> {
+                histogram.setTag(name.replace(' ', '_'));
+                writer.outputIntervalHistogram(histogram);
+            });
+        }
+        System.out.printf("Resumen: %s%nHistogramas HDR: %s%n", summary, hlog);
+    }
+
+    private static void line(PrintStream out, String name, Histogram histogram, long errors, double elapsedSeconds) {
+        out.printf("%-32s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6,
+                errors);
+    }
+
+    // ---- peticiones ----
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build();
+    }
+
+    // solo se borran items creados en la prueba y sin detalles (los detalles usan items sembrados)
+    private HttpRequest deleteCreatedItem(String prefix) {
+        Integer id = createdItemIds.poll();
+        return id != null ? delete(prefix + id) : get("/items/" + seededItem());
+    }
+
+    private HttpRequest deleteCreatedDetail() {
+        Integer id = createdDetailIds.poll();
+        return id != null ? delete("/details/" + id) : get("/details/" + seededDetail());
+    }
+
+    // ventana de un dia sobre los items sembrados (creados cada minuto hacia atras)
+    private HttpRequest createdRange() {
+        LocalDateTime to = LocalDateTime.now().minusMinutes(random(Math.max(1, items)));
+        return get("/items/range?from=" + to.minusDays(1).withNano(0) + "&to=" + to.withNano(0) + "&size=20");
+    }
+
+    private HttpRequest asyncStatus() {
+        String trackingId = trackingIds.poll();
+        return trackingId != null ? get("/items/async/" + trackingId) : get("/items/" + seededItem());
+    }
+
+    private String itemJson() {
+        int n = random(1_000_000);
+        return "{\"name\":\"load-" + n + "\",\"quantity\":" + (n % 100) + ",\"active\":" + (n % 2 == 0) + "}";
+    }
+
+    private String detailJson() {
+        int n = random(1_000_000);
+        return "{\"description\":\"load-detail-" + n + "\",\"quantity\":" + (n % 50) + ",\"itemId\":" + seededItem() + "}";
+    }
+
+    private int seededItem() {
+        return seededItemIds.get(random(seededItemIds.size()));
+    }
+
+    private int seededDetail() {
+        return seededDetailIds.get(random(seededDetailIds.size()));
+    }
+
+    private int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,166 @@
+package corporation.proyect.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeRingBufferTest {
+
+    private static final long EPOCH = 1_700_000_000_000L;
+
+    private final ChangeRingBuffer ring = new ChangeRingBuffer(4, EPOCH);
+
+    @Test
+    void appendAssignsSequenceAndEpochId() {
+        ChangeRingBuffer.Entry first = append("item.created");
+        ChangeRingBuffer.Entry second = append("item.updated");
+
+        assertThat(first.sequence()).isEqualTo(1);
+        assertThat(first.id()).isEqualTo(EPOCH + "-1");
+        assertThat(first.json()).isEqualTo("{\"sequence\":1}");
+        assertThat(second.id()).isEqualTo(EPOCH + "-2");
+        assertThat(ring.lastSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void failedSerializationDoesNotConsumeSequence() {
+        assertThat(ring.append("item.created", sequence -> null)).isNull();
+
+        assertThat(append("item.created").sequence()).isEqualTo(1);
+    }
+
+    @Test
+    void sinceReturnsMissedEntriesAfterWrapAround() {
+        appendTimes(10);
+
+        // capacidad 4: quedan 7..10
+        assertThat(sequences(ring.since(id(6)))).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(sequences(ring.since(id(8)))).containsExactly(9L, 10L);
+    }
+
+    @Test
+    void sinceAtTheEdgesOfTheBuffer() {
+        appendTimes(10);
+
+        // al dia: nada pendiente
+        assertThat(ring.since(id(10))).isEmpty();
+        // justo antes del mas antiguo retenido: todo el buffer
+        assertThat(ring.since(id(6))).hasSize(4);
+        // el siguiente ya fue sobrescrito
+        assertThat(ring.since(id(5))).isNull();
+        // por delante del buffer
+        assertThat(ring.since(id(11))).isNull();
+    }
+
+    @Test
+    void sinceBeforeWrapAroundIncludesFirstEntry() {
+        appendTimes(3);
+
+        assertThat(sequences(ring.since(id(0)))).containsExactly(1L, 2L, 3L);
+        assertThat(ring.since(id(3))).isEmpty();
+    }
+
+    @Test
+    void resetWhenIdComesFromAnotherEpoch() {
+        appendTimes(3);
+
+        // misma secuencia pero de un arranque anterior
+        assertThat(ring.since((EPOCH - 1) + "-1")).isNull();
+        assertThat(new ChangeRingBuffer(4, EPOCH + 1).since(id(0))).isNull();
+    }
+
+    @Test
+    void resetWhenIdIsMalformed() {
+        appendTimes(3);
+
+        assertThat(ring.since("")).isNull();
+        assertThat(ring.since("2")).isNull();
+        assertThat(ring.since(EPOCH + "-")).isNull();
+        assertThat(ring.since(EPOCH + "-abc")).isNull();
+        assertThat(ring.since(EPOCH + "--1")).isNull();
+    }
+
+    // ---- puesta al dia del feed: ring.since(lastSent) en lugar de difundir entradas sueltas ----
+    @Test
+    void catchUpSurvivesOutOfOrderNotifications() {
+        appendTimes(4);
+        long lastSent = 4;
+
+        // A confirma y obtiene 5, B obtiene 6, pero la difusion de B se procesa primero
+        ChangeRingBuffer.Entry fromA = append("item.created");
+        ChangeRingBuffer.Entry fromB = append("item.updated");
+        assertThat(fromA.sequence()).isEqualTo(5);
+        assertThat(fromB.sequence()).isEqualTo(6);
+
+        List<ChangeRingBuffer.Entry> first = ring.since(lastSent);
+        assertThat(sequences(first)).containsExactly(5L, 6L);
+        lastSent = first.get(first.size() - 1).sequence();
+
+        // la difusion de A llega tarde: no hay nada pendiente ni duplicado
+        assertThat(ring.since(lastSent)).isEmpty();
+    }
+
+    @Test
+    void catchUpUnderConcurrentAppendsHasNoGaps() throws InterruptedException {
+        int writers = 4;
+        int perWriter = 500;
+        ChangeRingBuffer large = new ChangeRingBuffer(writers * perWriter, EPOCH);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perWriter; i++) {
+                    large.append("item.created", sequence -> "{}");
+                }
+            });
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        long lastSent = 0;
+        start.countDown();
+        pool.shutdown();
+        while (!pool.isTerminated() || lastSent < large.lastSequence()) {
+            for (ChangeRingBuffer.Entry entry : large.since(lastSent)) {
+                delivered.add(entry.sequence());
+                lastSent = entry.sequence();
+            }
+        }
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(delivered).hasSize(writers * perWriter);
+        for (int i = 0; i < delivered.size(); i++) {
+            assertThat(delivered.get(i)).isEqualTo(i + 1L);
+        }
+    }
+
+    private ChangeRingBuffer.Entry append(String name) {
+        return ring.append(name, sequence -> "{\"sequence\":" + sequence + "}");
+    }
+
+    private void appendTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            append("item.created");
+        }
+    }
+
+    private static String id(long sequence) {
+        return EPOCH + "-" + sequence;
+    }
+
+    private static List<Long> sequences(List<ChangeRingBuffer.Entry> entries) {
+        return entries.stream().map(ChangeRingBuffer.Entry::sequence).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package corporation.proyect.service.impl;
+
+import corporation.proyect.dto.ItemResponseDTO;
+import corporation.proyect.entity.Item;
+import corporation.proyect.mapper.IItemMapper;
+import corporation.proyect.pagination.PageResponseDTO;
+import corporation.proyect.repository.IItemRepository;
+import corporation.proyect.service.IItemCountService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Correccion del total de /items/page cuando el conteo cacheado esta desfasado
+@ExtendWith(MockitoExtension.class)
+class ItemServiceImplTest {
+
+    private static final int SIZE = 10;
+
+    @Mock
+    private IItemRepository itemRepository;
+    @Mock
+    private IItemMapper itemMapper;
+    @Mock
+    private IItemCountService itemCountService;
+
+    @InjectMocks
+    private ItemServiceImpl itemService;
+
+    // ---- hay pagina siguiente: total >= filas vistas + 1 ----
+    @Test
+    void hasNextRaisesStaleLowCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(0, SIZE, true, 3);
+
+        assertThat(page.totalElements()).isEqualTo(11);
+        assertThat(page.totalPages()).isEqualTo(2);
+        assertThat(page.isLast()).isFalse();
+    }
+
+    @Test
+    void hasNextKeepsStaleHighCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(1, SIZE, true, 1000);
+
+        assertThat(page.totalElements()).isEqualTo(1000);
+        assertThat(page.totalPages()).isEqualTo(100);
+        assertThat(page.isLast()).isFalse();
+    }
+
+    // ---- ultima pagina: el total es exacto ----
+    @Test
+    void lastPageCorrectsStaleHighCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(2, 4, false, 1000);
+
+        assertThat(page.totalElements()).isEqualTo(24);
+        assertThat(page.totalPages()).isEqualTo(3);
+        assertThat(page.isLast()).isTrue();
+    }
+
+    @Test
+    void lastPageCorrectsStaleLowCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(2, 4, false, 5);
+
+        assertThat(page.totalElements()).isEqualTo(24);
+        assertThat(page.totalPages()).isEqualTo(3);
+        assertThat(page.isLast()).isTrue();
+    }
+
+    // ---- primera pagina vacia: no hay items ----
+    @Test
+    void emptyFirstPageCorrectsStaleHighCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(0, 0, false, 50);
+
+        assertThat(page.totalElements()).isZero();
+        assertThat(page.totalPages()).isZero();
+        assertThat(page.isLast()).isTrue();
+    }
+
+    @Test
+    void emptyFirstPageWithAccurateCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(0, 0, false, 0);
+
+        assertThat(page.totalElements()).isZero();
+        assertThat(page.isFirst()).isTrue();
+    }
+
+    // ---- pagina vacia pasado el final: el total no supera el offset ----
+    @Test
+    void emptyPagePastTheEndCapsStaleHighCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(5, 0, false, 1000);
+
+        assertThat(page.totalElements()).isEqualTo(50);
+        assertThat(page.totalPages()).isEqualTo(5);
+        assertThat(page.isLast()).isTrue();
+    }
+
+    @Test
+    void emptyPagePastTheEndKeepsStaleLowCount() {
+        PageResponseDTO<ItemResponseDTO> page = getPage(5, 0, false, 20);
+
+        assertThat(page.totalElements()).isEqualTo(20);
+        assertThat(page.totalPages()).isEqualTo(2);
+        assertThat(page.content()).isEmpty();
+    }
+
+    private PageResponseDTO<ItemResponseDTO> getPage(int number, int elements, boolean hasNext, long cachedCount) {
+        Pageable pageable = PageRequest.of(number, SIZE);
+        List<Item> items = new ArrayList<>(elements);
+        for (int i = 0; i < elements; i++) {
+            Item item = new Item();
+            item.setId(number * SIZE + i + 1);
+            items.add(item);
+        }
+        when(itemRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(items, pageable, hasNext));
+        when(itemCountService.totalItems(false)).thenReturn(cachedCount);
+        if (elements > 0) {
+            when(itemMapper.toItemResponseDTO(any(Item.class)))
+                    .thenAnswer(invocation -> {
+                        Item item = invocation.getArgument(0);
+                        return new ItemResponseDTO(item.getId(), null, null, null, null, null);
+                    });
+        }
+        return itemService.getAllItemsPageable(pageable, false);
+    }
+}